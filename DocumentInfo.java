@@ -15,4 +15,5 @@ public class DocumentInfo {
     private int wordCount;
     private int sentenceCount;
     private int paragraphCount;
+    private String contentHash;
 }
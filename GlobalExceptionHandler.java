@@ -41,7 +41,9 @@ public class GlobalExceptionHandler {
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
                 .error("Payload Too Large")
-                .message("File size exceeds the maximum allowed limit of 50MB")
+                .message(ex.getMaxUploadSize() > 0
+                        ? "Upload exceeds the maximum allowed size of " + formatSize(ex.getMaxUploadSize())
+                        : "Upload exceeds the maximum allowed size")
                 .path(request.getDescription(false).replace("uri=", ""))
                 .timestamp(LocalDateTime.now())
                 .build();
@@ -82,4 +84,11 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static String formatSize(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return bytes / (1024 * 1024) + "MB";
+        }
+        return bytes >= 1024 ? bytes / 1024 + "KB" : bytes + " bytes";
+    }
 }
@@ -0,0 +1,17 @@
+package com.plagiacheck.service;
+
+/**
+ * Backend computing dot products between blocks of pre-normalized dense vectors
+ */
+public interface HashedVectorScorer {
+
+    /**
+     * Score rows {@code [rowStart, rowEnd)} against columns {@code [colStart, colEnd)}.
+     * Vectors are already divided by their norms, so the dot product is the score. Results
+     * are written row-major into {@code out}, one row of {@code colEnd - colStart} scores per vector.
+     */
+    void scoreTile(float[][] rows, int rowStart, int rowEnd,
+                   float[][] cols, int colStart, int colEnd, float[] out);
+
+    String getName();
+}
@@ -0,0 +1,164 @@
+package com.plagiacheck.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched sentence scoring on feature-hashed term-frequency vectors. Term frequencies are
+ * non-negative and each vector is scaled by the norm of its unhashed counterpart, so a hash
+ * collision can only add to the dot product: the hashed score is an upper bound of
+ * {@link SimilarityCalculationService#calculateCosineSimilarity}. Callers use it to find
+ * candidate pairs without missing any, and confirm them with the exact calculation.
+ * <p>
+ * The Vector API backend needs JDK 21+ and {@code --add-modules jdk.incubator.vector} at
+ * runtime (see {@link VectorApiHashedVectorScorer}). The shipped Dockerfile runs JDK 17
+ * without that flag, so containers built from it always use the scalar backend.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HashedVectorScoringService {
+
+    private static final int TILE_SIZE = 64;
+
+    private final TextProcessingService textProcessingService;
+
+    // Each vectorised sentence takes dimensions * 4 bytes (4 KB at 1024). Per request the
+    // shorter sentence list is held in full, plus one tile of the longer one: about
+    // (min(rows, cols) + 64) * dimensions * 4 bytes, e.g. 4.3 MB for 1,000 sentences
+    @Value("${app.similarity.hashed-dimensions:1024}")
+    private int dimensions;
+
+    @Value("${app.similarity.simd.enabled:true}")
+    private boolean simdEnabled;
+
+    private HashedVectorScorer scorer;
+
+    @PostConstruct
+    public void init() {
+        if (Integer.bitCount(dimensions) != 1) {
+            throw new IllegalStateException("app.similarity.hashed-dimensions must be a power of two");
+        }
+        scorer = simdEnabled && isVectorApiAvailable() ? createVectorApiScorer() : new ScalarHashedVectorScorer();
+        log.info("Hashed vector scoring backend: {}, {} dimensions", scorer.getName(), dimensions);
+    }
+
+    /**
+     * Call {@code consumer} for every (row, column) pair whose hashed score is at least {@code minScore}
+     */
+    public void forEachCandidate(List<String> rowTexts, List<String> colTexts, double minScore,
+                                 CandidateConsumer consumer) {
+        if (rowTexts.isEmpty() || colTexts.isEmpty()) {
+            return;
+        }
+
+        // Scores are symmetric, so keep the shorter list's vectors and stream the longer one
+        if (rowTexts.size() < colTexts.size()) {
+            scoreInTiles(colTexts, rowTexts, minScore, (row, col) -> consumer.accept(col, row));
+        } else {
+            scoreInTiles(rowTexts, colTexts, minScore, consumer);
+        }
+    }
+
+    // Column vectors are built once; row vectors only one tile at a time
+    private void scoreInTiles(List<String> rowTexts, List<String> colTexts, double minScore,
+                              CandidateConsumer consumer) {
+        float[][] cols = toVectors(colTexts, 0, colTexts.size());
+        float[] tile = new float[TILE_SIZE * TILE_SIZE];
+
+        for (int rowStart = 0; rowStart < rowTexts.size(); rowStart += TILE_SIZE) {
+            int rowEnd = Math.min(rowStart + TILE_SIZE, rowTexts.size());
+            float[][] rows = toVectors(rowTexts, rowStart, rowEnd);
+
+            for (int colStart = 0; colStart < cols.length; colStart += TILE_SIZE) {
+                int colEnd = Math.min(colStart + TILE_SIZE, cols.length);
+                int width = colEnd - colStart;
+                scorer.scoreTile(rows, 0, rows.length, cols, colStart, colEnd, tile);
+
+                for (int i = rowStart; i < rowEnd; i++) {
+                    for (int j = colStart; j < colEnd; j++) {
+                        if (tile[(i - rowStart) * width + (j - colStart)] >= minScore) {
+                            consumer.accept(i, j);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash a text's term frequencies into a vector scaled by 1 / (exact term-frequency norm).
+     * Without collisions the dot product of two such vectors is exactly their cosine.
+     */
+    public float[] toVector(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null || text.isEmpty()) {
+            return vector;
+        }
+
+        Map<String, Integer> termFrequency = new HashMap<>();
+        for (String token : textProcessingService.tokenize(text)) {
+            termFrequency.merge(token, 1, Integer::sum);
+        }
+
+        double norm = 0.0;
+        for (Map.Entry<String, Integer> entry : termFrequency.entrySet()) {
+            int tf = entry.getValue();
+            vector[mix(entry.getKey().hashCode()) & (dimensions - 1)] += tf;
+            norm += (double) tf * tf;
+        }
+
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int k = 0; k < vector.length; k++) {
+            vector[k] *= scale;
+        }
+        return vector;
+    }
+
+    private float[][] toVectors(List<String> texts, int from, int to) {
+        float[][] vectors = new float[to - from][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = toVector(texts.get(from + i));
+        }
+        return vectors;
+    }
+
+    // Murmur3 finalizer, spreads String.hashCode across all bits
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static boolean isVectorApiAvailable() {
+        return Runtime.version().feature() >= 21
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    // Loaded reflectively so the class is never linked when the incubator module is absent
+    private static HashedVectorScorer createVectorApiScorer() {
+        try {
+            return (HashedVectorScorer) Class.forName("com.plagiacheck.service.VectorApiHashedVectorScorer")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API scorer unavailable, falling back to scalar: {}", e.getMessage());
+            return new ScalarHashedVectorScorer();
+        }
+    }
+
+    @FunctionalInterface
+    public interface CandidateConsumer {
+        void accept(int row, int col);
+    }
+}
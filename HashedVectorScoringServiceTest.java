@@ -0,0 +1,143 @@
+package com.plagiacheck.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class HashedVectorScoringServiceTest {
+
+    private static final int SENTENCES = 200;
+    private static final double THRESHOLD = 0.70;
+    private static final double ROUNDING = 1e-4;
+
+    private final TextProcessingService textProcessingService = new TextProcessingService();
+    private final SimilarityCalculationService similarityCalculationService =
+            new SimilarityCalculationService(textProcessingService);
+
+    @Test
+    void hashedScoreNeverUnderestimatesExactCosine() {
+        // 64 dimensions forces plenty of collisions
+        for (int dimensions : new int[]{64, 1024}) {
+            HashedVectorScoringService service = service(dimensions);
+            List<String> rows = sentences(new Random(dimensions), 5000);
+            List<String> cols = revise(new Random(dimensions + 1), rows, 5000);
+            float[] scores = scoreAll(service, new ScalarHashedVectorScorer(), rows, cols);
+
+            for (int i = 0; i < SENTENCES; i++) {
+                for (int j = 0; j < SENTENCES; j++) {
+                    double exact = similarityCalculationService.calculateCosineSimilarity(rows.get(i), cols.get(j));
+                    assertTrue(scores[i * SENTENCES + j] >= exact - ROUNDING,
+                            () -> "hashed score below exact cosine for " + dimensions + " dimensions");
+                }
+            }
+        }
+    }
+
+    @Test
+    void forEachCandidateFindsEveryExactMatch() {
+        HashedVectorScoringService service = service(1024);
+        List<String> rows = sentences(new Random(7), 5000);
+        List<String> cols = revise(new Random(8), rows, 5000);
+
+        Set<Long> candidates = new HashSet<>();
+        service.forEachCandidate(rows, cols, THRESHOLD - ROUNDING, (i, j) -> candidates.add((long) i * SENTENCES + j));
+
+        int matches = 0;
+        for (int i = 0; i < SENTENCES; i++) {
+            for (int j = 0; j < SENTENCES; j++) {
+                if (similarityCalculationService.calculateCosineSimilarity(rows.get(i), cols.get(j)) >= THRESHOLD) {
+                    matches++;
+                    assertTrue(candidates.contains((long) i * SENTENCES + j), "exact match " + i + "/" + j + " was filtered out");
+                }
+            }
+        }
+        assertTrue(matches > 0, "fixture should contain matches");
+    }
+
+    @Test
+    void forEachCandidateIsSymmetricForUnevenSides() {
+        HashedVectorScoringService service = service(1024);
+        List<String> rows = sentences(new Random(9), 5000).subList(0, 70);
+        List<String> cols = revise(new Random(10), sentences(new Random(9), 5000), 5000);
+
+        Set<List<Integer>> shortRows = new HashSet<>();
+        service.forEachCandidate(rows, cols, THRESHOLD - ROUNDING, (i, j) -> shortRows.add(List.of(i, j)));
+        Set<List<Integer>> shortCols = new HashSet<>();
+        service.forEachCandidate(cols, rows, THRESHOLD - ROUNDING, (i, j) -> shortCols.add(List.of(j, i)));
+
+        assertFalse(shortRows.isEmpty(), "fixture should contain candidates");
+        assertEquals(shortRows, shortCols);
+        shortRows.forEach(pair -> {
+            assertTrue(pair.get(0) < rows.size() && pair.get(1) < cols.size(), "index out of range: " + pair);
+        });
+    }
+
+    @Test
+    void vectorApiScorerMatchesScalar() throws Exception {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "run with --add-modules jdk.incubator.vector on JDK 21+");
+        HashedVectorScorer vectorApi = (HashedVectorScorer) Class
+                .forName("com.plagiacheck.service.VectorApiHashedVectorScorer")
+                .getDeclaredConstructor()
+                .newInstance();
+
+        HashedVectorScoringService service = service(1024);
+        List<String> rows = sentences(new Random(11), 50);
+        List<String> cols = revise(new Random(12), rows, 50);
+        float[] scalar = scoreAll(service, new ScalarHashedVectorScorer(), rows, cols);
+        float[] simd = scoreAll(service, vectorApi, rows, cols);
+
+        for (int k = 0; k < scalar.length; k++) {
+            assertEquals(scalar[k], simd[k], 1e-5);
+        }
+    }
+
+    private HashedVectorScoringService service(int dimensions) {
+        HashedVectorScoringService service = new HashedVectorScoringService(textProcessingService);
+        ReflectionTestUtils.setField(service, "dimensions", dimensions);
+        ReflectionTestUtils.setField(service, "simdEnabled", false);
+        service.init();
+        return service;
+    }
+
+    private float[] scoreAll(HashedVectorScoringService service, HashedVectorScorer scorer,
+                             List<String> rows, List<String> cols) {
+        float[][] rowVectors = rows.stream().map(service::toVector).toArray(float[][]::new);
+        float[][] colVectors = cols.stream().map(service::toVector).toArray(float[][]::new);
+        float[] scores = new float[rows.size() * cols.size()];
+        scorer.scoreTile(rowVectors, 0, rows.size(), colVectors, 0, cols.size(), scores);
+        return scores;
+    }
+
+    // Sentences of 10-20 words drawn from a vocabulary of the given size
+    private static List<String> sentences(Random random, int vocabulary) {
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < SENTENCES; i++) {
+            StringBuilder sentence = new StringBuilder();
+            int words = 10 + random.nextInt(11);
+            for (int w = 0; w < words; w++) {
+                sentence.append(w == 0 ? "" : " ").append("w").append(random.nextInt(vocabulary));
+            }
+            sentences.add(sentence.toString());
+        }
+        return sentences;
+    }
+
+    // Copies, small edits and unrelated sentences, so scores span the whole range around the threshold
+    private static List<String> revise(Random random, List<String> originals, int vocabulary) {
+        List<String> revised = new ArrayList<>();
+        for (int i = 0; i < originals.size(); i++) {
+            String[] words = originals.get(random.nextInt(originals.size())).split(" ");
+            int edits = random.nextInt(words.length);
+            for (int e = 0; e < edits; e++) {
+                words[random.nextInt(words.length)] = "w" + random.nextInt(vocabulary);
+            }
+            revised.add(String.join(" ", words));
+        }
+        return revised;
+    }
+}
@@ -1,12 +1,12 @@
 package com.plagiacheck.service;
 
 import com.plagiacheck.dto.DocumentInfo;
+import com.plagiacheck.dto.SpooledUpload;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 
@@ -14,15 +14,17 @@ import java.io.IOException;
 @Slf4j
 public class PdfExtractionService {
 
-    public String extractTextFromPdf(MultipartFile file) throws IOException {
-        log.info("Extracting text from PDF: {}", file.getOriginalFilename());
+    public static final long MAX_FILE_SIZE = 50L * 1024 * 1024; // 50MB
+
+    public String extractTextFromPdf(SpooledUpload file) throws IOException {
+        log.info("Extracting text from PDF: {}", file.getFileName());
         
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
+        try (PDDocument document = Loader.loadPDF(file.getPath().toFile())) {
             
             PDFTextStripper stripper = new PDFTextStripper();
             String text = stripper.getText(document);
             
-            log.info("Successfully extracted {} characters from {}", text.length(), file.getOriginalFilename());
+            log.info("Successfully extracted {} characters from {}", text.length(), file.getFileName());
             return text;
             
         } catch (IOException e) {
@@ -31,32 +33,39 @@ public class PdfExtractionService {
         }
     }
 
-    public DocumentInfo getDocumentInfo(MultipartFile file, String extractedText) {
+    public DocumentInfo getDocumentInfo(SpooledUpload file, String extractedText) {
         String[] sentences = extractedText.split("[.!?]+");
         String[] words = extractedText.trim().split("\\s+");
         String[] paragraphs = extractedText.split("\n\n+");
 
         return DocumentInfo.builder()
-                .fileName(file.getOriginalFilename())
+                .fileName(file.getFileName())
                 .fileSize(file.getSize())
+                .contentHash(file.getContentHash())
                 .wordCount(words.length)
                 .sentenceCount(sentences.length)
                 .paragraphCount(paragraphs.length)
                 .build();
     }
 
-    public void validatePdfFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("File cannot be empty");
-        }
-
-        String fileName = file.getOriginalFilename();
+    /**
+     * Check the file name from the part headers, before any of the content is read
+     */
+    public void validatePdfFileName(String fileName) {
         if (fileName == null || !fileName.toLowerCase().endsWith(".pdf")) {
             throw new IllegalArgumentException("File must be a PDF");
         }
+    }
+
+    public void validatePdfFile(SpooledUpload file) {
+        if (file == null || file.getSize() == 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
+        validatePdfFileName(file.getFileName());
 
-        // Check file size (max 50MB)
-        if (file.getSize() > 50 * 1024 * 1024) {
+        // Check file size (max 50MB); normally already enforced while spooling
+        if (file.getSize() > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("File size cannot exceed 50MB");
         }
     }
@@ -2,14 +2,16 @@ package com.plagiacheck.controller;
 
 import com.plagiacheck.dto.PlagiarismResult;
 import com.plagiacheck.service.PlagiarismDetectionService;
+import com.plagiacheck.service.UploadSpoolingService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/plagiarism")
@@ -18,17 +20,22 @@ import java.io.IOException;
 public class PlagiarismController {
 
     private final PlagiarismDetectionService plagiarismDetectionService;
+    private final UploadSpoolingService uploadSpoolingService;
 
+    /**
+     * Expects multipart parts "originalFile" and "comparedFile" and an optional "revisionKey" field.
+     * The body is streamed to temp files rather than bound to MultipartFile parameters.
+     */
     @PostMapping("/detect")
-    public ResponseEntity<PlagiarismResult> detectPlagiarism(
-            @RequestParam("originalFile") MultipartFile originalFile,
-            @RequestParam("comparedFile") MultipartFile comparedFile) {
-        
-        log.info("Received plagiarism detection request for files: {} and {}", 
-                originalFile.getOriginalFilename(), comparedFile.getOriginalFilename());
+    public ResponseEntity<PlagiarismResult> detectPlagiarism(HttpServletRequest request) {
+        try (UploadSpoolingService.SpooledRequest upload =
+                     uploadSpoolingService.spool(request, Set.of("originalFile", "comparedFile"), Set.of("revisionKey"))) {
+            
+            log.info("Received plagiarism detection request for files: {} and {}", 
+                    upload.getFile("originalFile").getFileName(), upload.getFile("comparedFile").getFileName());
 
-        try {
-            PlagiarismResult result = plagiarismDetectionService.detectPlagiarism(originalFile, comparedFile);
+            PlagiarismResult result = plagiarismDetectionService.detectPlagiarism(
+                    upload.getFile("originalFile"), upload.getFile("comparedFile"), upload.getField("revisionKey"));
             return ResponseEntity.ok(result);
         } catch (IOException e) {
             log.error("Error processing files: {}", e.getMessage());
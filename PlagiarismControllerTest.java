@@ -0,0 +1,208 @@
+package com.plagiacheck.controller;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the streaming upload path end to end. Bodies are sent with chunked transfer
+ * encoding, so no Content-Length is available and every limit has to hold while streaming.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PlagiarismControllerTest {
+
+    private static final String BOUNDARY = "plagiacheck-test-boundary";
+    private static final long OVERSIZED = 60L * 1024 * 1024;
+
+    @TempDir
+    static Path workDir;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.dir", () -> workDir.resolve("uploads").toString());
+        registry.add("app.temp.dir", () -> workDir.resolve("temp").toString());
+        registry.add("cors.allowed-origins", () -> "http://localhost");
+        // Let Tomcat read past a rejected body instead of resetting the connection, so the
+        // client, still sending, can read the early error response
+        registry.add("server.tomcat.max-swallow-size", () -> "-1");
+    }
+
+    @AfterEach
+    void tempDirIsEmpty() throws IOException {
+        try (Stream<Path> files = Files.list(workDir.resolve("temp"))) {
+            assertEquals(List.of(), files.toList(), "spooled uploads must be deleted");
+        }
+    }
+
+    @Test
+    void detectsPlagiarismAndIgnoresExtraFields() throws Exception {
+        HttpResponse<String> response = post(
+                file("originalFile", "original.pdf", pdf("The quick brown fox jumps over the lazy dog.")),
+                field("notes", "extra metadata is ignored"),
+                file("comparedFile", "compared.pdf", pdf("The quick brown fox jumps over the lazy cat.")),
+                field("revisionKey", "submission-1"));
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(response.body().contains("\"similarityScore\""), response.body());
+    }
+
+    @Test
+    void rejectsOversizedFileWithoutContentLength() throws Exception {
+        HttpResponse<String> response = post(
+                file("originalFile", "original.pdf", pdf("A valid document that is spooled first.")),
+                part("comparedFile", "huge.pdf", new FillerInputStream(OVERSIZED)));
+
+        assertEquals(413, response.statusCode(), response.body());
+        assertTrue(response.body().contains("50MB"), response.body());
+    }
+
+    @Test
+    void rejectsNonPdfNameBeforeReadingContent() throws Exception {
+        // An oversized body would answer 413 if the content were read before the name was checked
+        HttpResponse<String> response = post(
+                part("originalFile", "notes.txt", new FillerInputStream(OVERSIZED)),
+                file("comparedFile", "compared.pdf", pdf("Never reached.")));
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(response.body().contains("File must be a PDF"), response.body());
+    }
+
+    @Test
+    void rejectsTooLongFileNameAsBadRequest() throws Exception {
+        String fileName = "x".repeat(2000) + ".pdf";
+        HttpResponse<String> response = post(
+                file("originalFile", fileName, pdf("Short document.")),
+                file("comparedFile", "compared.pdf", pdf("Short document.")));
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(response.body().contains("file name may be too long"), response.body());
+    }
+
+    @Test
+    void rejectsUnexpectedFilePart() throws Exception {
+        HttpResponse<String> response = post(
+                file("originalFile", "original.pdf", pdf("First document.")),
+                file("attachment", "other.pdf", pdf("Unexpected document.")),
+                file("comparedFile", "compared.pdf", pdf("Second document.")));
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(response.body().contains("Unexpected file 'attachment'"), response.body());
+    }
+
+    @Test
+    void rejectsTooManyParts() throws Exception {
+        List<InputStream> parts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            parts.add(field("extra" + i, "value"));
+        }
+        HttpResponse<String> response = post(parts.toArray(new InputStream[0]));
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(response.body().contains("more than 16 parts"), response.body());
+    }
+
+    private HttpResponse<String> post(InputStream... parts) throws IOException, InterruptedException {
+        List<InputStream> body = new ArrayList<>(Arrays.asList(parts));
+        body.add(new ByteArrayInputStream(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8)));
+        InputStream stream = new SequenceInputStream(Collections.enumeration(body));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/plagiarism/detect"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> stream))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static InputStream file(String name, String fileName, byte[] content) {
+        return part(name, fileName, new ByteArrayInputStream(content));
+    }
+
+    private static InputStream part(String name, String fileName, InputStream content) {
+        String headers = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n";
+        return new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(headers.getBytes(StandardCharsets.UTF_8)),
+                content,
+                new ByteArrayInputStream("\r\n".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    private static InputStream field(String name, String value) {
+        String part = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+        return new ByteArrayInputStream(part.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(72, 700);
+                content.showText(text);
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    // Generates content on the fly so oversized bodies never sit in the test's heap
+    private static class FillerInputStream extends InputStream {
+        private long remaining;
+
+        FillerInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 'x';
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            Arrays.fill(b, off, off + n, (byte) 'x');
+            remaining -= n;
+            return n;
+        }
+    }
+}
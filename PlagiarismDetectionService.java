@@ -4,7 +4,6 @@ import com.plagiacheck.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -20,10 +19,20 @@ public class PlagiarismDetectionService {
     private final PdfExtractionService pdfExtractionService;
     private final TextProcessingService textProcessingService;
     private final SimilarityCalculationService similarityCalculationService;
+    private final RevisionCacheService revisionCacheService;
+    private final HashedVectorScoringService hashedVectorScoringService;
 
-    public PlagiarismResult detectPlagiarism(MultipartFile originalFile, MultipartFile comparedFile) throws IOException {
+    private static final double MATCH_THRESHOLD = 0.70; // 70% similarity threshold
+    private static final double PREFILTER_MARGIN = 1e-4; // float rounding only; hashed scores never underestimate
+
+    /**
+     * Detect plagiarism; when a revision key is given, sentence scores from the previous
+     * revision submitted under the same key are reused for unchanged sentences
+     */
+    public PlagiarismResult detectPlagiarism(SpooledUpload originalFile, SpooledUpload comparedFile,
+                                             String revisionKey) throws IOException {
         log.info("Starting plagiarism detection between {} and {}", 
-                originalFile.getOriginalFilename(), comparedFile.getOriginalFilename());
+                originalFile.getFileName(), comparedFile.getFileName());
 
         // Validate files
         pdfExtractionService.validatePdfFile(originalFile);
@@ -52,7 +61,9 @@ public class PlagiarismDetectionService {
         List<String> originalSentences = textProcessingService.splitIntoSentences(cleanedOriginal);
         List<String> comparedSentences = textProcessingService.splitIntoSentences(cleanedCompared);
         
-        List<MatchedSection> matchedSections = findMatchedSections(originalSentences, comparedSentences);
+        List<MatchedSection> matchedSections = revisionKey == null
+                ? findMatchedSections(originalSentences, comparedSentences)
+                : findMatchedSectionsIncremental(revisionKey, originalSentences, comparedSentences);
 
         // Calculate comparison metrics
         ComparisonMetrics metrics = calculateMetrics(originalSentences, comparedSentences, matchedSections);
@@ -73,32 +84,130 @@ public class PlagiarismDetectionService {
 
     private List<MatchedSection> findMatchedSections(List<String> originalSentences, List<String> comparedSentences) {
         List<MatchedSection> matches = new ArrayList<>();
-        double threshold = 0.70; // 70% similarity threshold
 
+        // Hashed-vector scores are upper bounds, so each candidate is confirmed with the exact cosine
+        hashedVectorScoringService.forEachCandidate(originalSentences, comparedSentences,
+                MATCH_THRESHOLD - PREFILTER_MARGIN, (i, j) -> {
+                    String originalSentence = originalSentences.get(i);
+                    String comparedSentence = comparedSentences.get(j);
+
+                    double similarity = similarityCalculationService.calculateCosineSimilarity(
+                            originalSentence, comparedSentence);
+
+                    if (similarity >= MATCH_THRESHOLD) {
+                        matches.add(buildMatchedSection(originalSentence, comparedSentence, similarity, i, j));
+                    }
+                });
+
+        return topMatches(matches);
+    }
+
+    /**
+     * Revision-aware variant of {@link #findMatchedSections}: sentences are identified by hash,
+     * and only sentences that were added or modified since the previous revision are rescored
+     */
+    private List<MatchedSection> findMatchedSectionsIncremental(String revisionKey,
+                                                                List<String> originalSentences,
+                                                                List<String> comparedSentences) {
+        RevisionCacheService.RevisionSnapshot previous = revisionCacheService.getSnapshot(revisionKey).orElse(null);
+
+        // Unique compared sentences by hash, and where each one occurs
+        Map<Long, String> comparedByHash = new LinkedHashMap<>();
+        Map<Long, List<Integer>> comparedPositions = new HashMap<>();
+        for (int j = 0; j < comparedSentences.size(); j++) {
+            long hash = revisionCacheService.hashSentence(comparedSentences.get(j));
+            comparedByHash.putIfAbsent(hash, comparedSentences.get(j));
+            comparedPositions.computeIfAbsent(hash, k -> new ArrayList<>()).add(j);
+        }
+
+        // Compared sentences the previous revision's scores do not cover
+        List<Long> addedComparedHashes = comparedByHash.keySet().stream()
+                .filter(hash -> previous == null || !previous.containsCompared(hash))
+                .collect(Collectors.toList());
+
+        List<Long> originalHashes = new ArrayList<>();
+        Map<Long, String> originalByHash = new LinkedHashMap<>();
+        for (String sentence : originalSentences) {
+            long hash = revisionCacheService.hashSentence(sentence);
+            originalHashes.add(hash);
+            originalByHash.putIfAbsent(hash, sentence);
+        }
+
+        Map<Long, Map<Long, Double>> scores = new HashMap<>();
+        List<Long> unchangedHashes = new ArrayList<>();
+        List<Long> changedHashes = new ArrayList<>();
+
+        for (long hash : originalByHash.keySet()) {
+            Map<Long, Double> row = new HashMap<>();
+
+            if (previous != null && previous.containsOriginal(hash)) {
+                // Unchanged sentence: keep cached matches that are still present
+                previous.forEachMatch(hash, (comparedHash, similarity) -> {
+                    if (comparedByHash.containsKey(comparedHash)) {
+                        row.put(comparedHash, similarity);
+                    }
+                });
+                unchangedHashes.add(hash);
+            } else {
+                changedHashes.add(hash);
+            }
+            scores.put(hash, row);
+        }
+
+        scoreCandidates(changedHashes, originalByHash, new ArrayList<>(comparedByHash.keySet()), comparedByHash, scores);
+        scoreCandidates(unchangedHashes, originalByHash, addedComparedHashes, comparedByHash, scores);
+
+        List<MatchedSection> matches = new ArrayList<>();
         for (int i = 0; i < originalSentences.size(); i++) {
-            String originalSentence = originalSentences.get(i);
-            
-            for (int j = 0; j < comparedSentences.size(); j++) {
-                String comparedSentence = comparedSentences.get(j);
-                
-                double similarity = similarityCalculationService.calculateCosineSimilarity(
-                        originalSentence, comparedSentence);
-
-                if (similarity >= threshold) {
-                    matches.add(MatchedSection.builder()
-                            .originalText(originalSentence.substring(0, Math.min(200, originalSentence.length())))
-                            .comparedText(comparedSentence.substring(0, Math.min(200, comparedSentence.length())))
-                            .similarity(Math.round(similarity * 100 * 100.0) / 100.0)
-                            .originalPosition(i)
-                            .comparedPosition(j)
-                            .build());
+            for (Map.Entry<Long, Double> match : scores.get(originalHashes.get(i)).entrySet()) {
+                String comparedSentence = comparedByHash.get(match.getKey());
+                for (int j : comparedPositions.get(match.getKey())) {
+                    matches.add(buildMatchedSection(originalSentences.get(i), comparedSentence, match.getValue(), i, j));
                 }
             }
         }
 
-        // Sort by similarity (highest first) and limit to top 20 matches
+        revisionCacheService.putSnapshot(revisionKey, RevisionCacheService.RevisionSnapshot.of(
+                originalByHash.keySet(), comparedByHash.keySet(), scores));
+        log.info("Revision {}: reused scores for {} sentences, rescored {} sentences",
+                revisionKey, unchangedHashes.size(), changedHashes.size());
+
+        return topMatches(matches);
+    }
+
+    private void scoreCandidates(List<Long> originalHashes, Map<Long, String> originalByHash,
+                                 List<Long> comparedHashes, Map<Long, String> comparedByHash,
+                                 Map<Long, Map<Long, Double>> scores) {
+        List<String> originalTexts = originalHashes.stream().map(originalByHash::get).collect(Collectors.toList());
+        List<String> comparedTexts = comparedHashes.stream().map(comparedByHash::get).collect(Collectors.toList());
+
+        hashedVectorScoringService.forEachCandidate(originalTexts, comparedTexts,
+                MATCH_THRESHOLD - PREFILTER_MARGIN, (i, j) -> {
+                    double similarity = similarityCalculationService.calculateCosineSimilarity(
+                            originalTexts.get(i), comparedTexts.get(j));
+                    if (similarity >= MATCH_THRESHOLD) {
+                        scores.get(originalHashes.get(i)).put(comparedHashes.get(j), similarity);
+                    }
+                });
+    }
+
+    private MatchedSection buildMatchedSection(String originalSentence, String comparedSentence,
+                                               double similarity, int originalPosition, int comparedPosition) {
+        return MatchedSection.builder()
+                .originalText(originalSentence.substring(0, Math.min(200, originalSentence.length())))
+                .comparedText(comparedSentence.substring(0, Math.min(200, comparedSentence.length())))
+                .similarity(Math.round(similarity * 100 * 100.0) / 100.0)
+                .originalPosition(originalPosition)
+                .comparedPosition(comparedPosition)
+                .build();
+    }
+
+    private List<MatchedSection> topMatches(List<MatchedSection> matches) {
+        // Sort by similarity (highest first), then by position, and limit to top 20 matches
         return matches.stream()
-                .sorted((a, b) -> Double.compare(b.getSimilarity(), a.getSimilarity()))
+                .sorted(Comparator.comparingDouble(MatchedSection::getSimilarity).reversed()
+                        .thenComparingInt(MatchedSection::getOriginalPosition)
+                        .thenComparingInt(MatchedSection::getComparedPosition))
                 .limit(20)
                 .collect(Collectors.toList());
     }
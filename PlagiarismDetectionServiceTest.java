@@ -0,0 +1,104 @@
+package com.plagiacheck.service;
+
+import com.plagiacheck.dto.MatchedSection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlagiarismDetectionServiceTest {
+
+    private static final String REVISION_KEY = "submission-1";
+
+    private final Random random = new Random(26);
+    private RevisionCacheService revisionCacheService;
+    private PlagiarismDetectionService service;
+
+    @BeforeEach
+    void setUp() {
+        TextProcessingService textProcessingService = new TextProcessingService();
+        HashedVectorScoringService hashedVectorScoringService = new HashedVectorScoringService(textProcessingService);
+        ReflectionTestUtils.setField(hashedVectorScoringService, "dimensions", 1024);
+        ReflectionTestUtils.setField(hashedVectorScoringService, "simdEnabled", false);
+        hashedVectorScoringService.init();
+
+        revisionCacheService = new RevisionCacheService();
+        ReflectionTestUtils.setField(revisionCacheService, "maxSize", DataSize.ofMegabytes(32));
+
+        service = new PlagiarismDetectionService(new PdfExtractionService(), textProcessingService,
+                new SimilarityCalculationService(textProcessingService), revisionCacheService,
+                hashedVectorScoringService);
+    }
+
+    @Test
+    void incrementalScanMatchesFullScanAcrossRevisions() {
+        List<String> original = sentences(30);
+        List<String> compared = new ArrayList<>();
+        for (int i = 0; i < 30; i += 2) {
+            compared.add(edit(original.get(i), 2));
+        }
+        compared.addAll(sentences(10));
+        compared.add(compared.get(0)); // a repeated sentence matches at every position
+
+        // First submission, nothing cached yet
+        assertSameMatches(original, compared);
+
+        // Some original sentences edited
+        for (int i : new int[]{0, 4, 9}) {
+            original.set(i, edit(original.get(i), 3));
+        }
+        assertSameMatches(original, compared);
+
+        // A sentence added and another removed
+        original.add(7, compared.get(3));
+        original.remove(20);
+        assertSameMatches(original, compared);
+
+        // The compared document changed: one sentence edited, one added, one removed
+        compared.set(1, edit(compared.get(1), 2));
+        compared.add(edit(original.get(12), 1));
+        compared.remove(5);
+        assertSameMatches(original, compared);
+
+        // Resubmitting an unchanged revision reuses everything
+        assertSameMatches(original, compared);
+    }
+
+    private void assertSameMatches(List<String> original, List<String> compared) {
+        List<MatchedSection> full = ReflectionTestUtils.invokeMethod(service, "findMatchedSections",
+                original, compared);
+        List<MatchedSection> incremental = ReflectionTestUtils.invokeMethod(service,
+                "findMatchedSectionsIncremental", REVISION_KEY, original, compared);
+
+        assertNotNull(full);
+        assertFalse(full.isEmpty(), "fixture should contain matches");
+        assertEquals(full, incremental);
+        assertTrue(revisionCacheService.getSnapshot(REVISION_KEY).isPresent());
+    }
+
+    // Sentences of 8-12 words drawn from a small vocabulary
+    private List<String> sentences(int count) {
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder sentence = new StringBuilder();
+            int words = 8 + random.nextInt(5);
+            for (int w = 0; w < words; w++) {
+                sentence.append(w == 0 ? "" : " ").append("w").append(random.nextInt(500));
+            }
+            sentences.add(sentence.toString());
+        }
+        return sentences;
+    }
+
+    private String edit(String sentence, int edits) {
+        String[] words = sentence.split(" ");
+        for (int e = 0; e < edits; e++) {
+            words[random.nextInt(words.length)] = "w" + random.nextInt(500);
+        }
+        return String.join(" ", words);
+    }
+}
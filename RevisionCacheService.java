@@ -0,0 +1,154 @@
+package com.plagiacheck.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+@Service
+@Slf4j
+public class RevisionCacheService {
+
+    @Value("${app.revision.cache-max-size:32MB}")
+    private DataSize maxSize;
+
+    private final LinkedHashMap<String, RevisionSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Get the snapshot stored for the previous revision of a submission, if any
+     */
+    public synchronized Optional<RevisionSnapshot> getSnapshot(String revisionKey) {
+        return Optional.ofNullable(snapshots.get(revisionKey));
+    }
+
+    /**
+     * Store the snapshot of the latest revision, replacing the previous one. The least
+     * recently used snapshots are evicted while the cache exceeds its size budget.
+     */
+    public synchronized void putSnapshot(String revisionKey, RevisionSnapshot snapshot) {
+        RevisionSnapshot replaced = snapshots.put(revisionKey, snapshot);
+        if (replaced != null) {
+            totalBytes -= replaced.estimatedBytes();
+        }
+        totalBytes += snapshot.estimatedBytes();
+
+        Iterator<RevisionSnapshot> eldest = snapshots.values().iterator();
+        while (totalBytes > maxSize.toBytes() && snapshots.size() > 1) {
+            totalBytes -= eldest.next().estimatedBytes();
+            eldest.remove();
+        }
+        log.debug("Cached revision snapshot for {} ({} bytes, {} bytes total)",
+                revisionKey, snapshot.estimatedBytes(), totalBytes);
+    }
+
+    /**
+     * Hash a sentence so unchanged sentences can be recognised across revisions;
+     * the first 64 bits of SHA-256 are plenty to tell sentences of one submission apart
+     */
+    public long hashSentence(String sentence) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(sentence.getBytes(StandardCharsets.UTF_8))).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Pairwise scores from one revision, stored as sorted primitive arrays. Every original
+     * sentence in {@code originalHashes} was scored against every compared sentence in
+     * {@code comparedHashes}; only pairs above threshold are kept as matches.
+     */
+    public static class RevisionSnapshot {
+        private final long[] originalHashes;
+        private final long[] comparedHashes;
+        private final long[] matchOriginal;
+        private final long[] matchCompared;
+        private final double[] matchScore;
+
+        private RevisionSnapshot(long[] originalHashes, long[] comparedHashes,
+                                 long[] matchOriginal, long[] matchCompared, double[] matchScore) {
+            this.originalHashes = originalHashes;
+            this.comparedHashes = comparedHashes;
+            this.matchOriginal = matchOriginal;
+            this.matchCompared = matchCompared;
+            this.matchScore = matchScore;
+        }
+
+        public static RevisionSnapshot of(Collection<Long> originalHashes, Collection<Long> comparedHashes,
+                                          Map<Long, Map<Long, Double>> matches) {
+            TreeMap<Long, Map<Long, Double>> sorted = new TreeMap<>();
+            matches.forEach((hash, row) -> {
+                if (!row.isEmpty()) {
+                    sorted.put(hash, row);
+                }
+            });
+
+            int count = sorted.values().stream().mapToInt(Map::size).sum();
+            long[] matchOriginal = new long[count];
+            long[] matchCompared = new long[count];
+            double[] matchScore = new double[count];
+            int k = 0;
+            for (Map.Entry<Long, Map<Long, Double>> row : sorted.entrySet()) {
+                for (Map.Entry<Long, Double> match : row.getValue().entrySet()) {
+                    matchOriginal[k] = row.getKey();
+                    matchCompared[k] = match.getKey();
+                    matchScore[k] = match.getValue();
+                    k++;
+                }
+            }
+
+            return new RevisionSnapshot(toSortedArray(originalHashes), toSortedArray(comparedHashes),
+                    matchOriginal, matchCompared, matchScore);
+        }
+
+        public boolean containsOriginal(long hash) {
+            return Arrays.binarySearch(originalHashes, hash) >= 0;
+        }
+
+        public boolean containsCompared(long hash) {
+            return Arrays.binarySearch(comparedHashes, hash) >= 0;
+        }
+
+        /**
+         * Call {@code consumer} with every cached match of an original sentence
+         */
+        public void forEachMatch(long originalHash, MatchConsumer consumer) {
+            int k = Arrays.binarySearch(matchOriginal, originalHash);
+            if (k < 0) {
+                return;
+            }
+            while (k > 0 && matchOriginal[k - 1] == originalHash) {
+                k--;
+            }
+            for (; k < matchOriginal.length && matchOriginal[k] == originalHash; k++) {
+                consumer.accept(matchCompared[k], matchScore[k]);
+            }
+        }
+
+        public long estimatedBytes() {
+            // Array payloads plus headers and object overhead
+            return 8L * (originalHashes.length + comparedHashes.length)
+                    + 24L * matchOriginal.length
+                    + 5 * 16 + 32;
+        }
+
+        private static long[] toSortedArray(Collection<Long> hashes) {
+            long[] array = hashes.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(array);
+            return array;
+        }
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(long comparedHash, double similarity);
+    }
+}
@@ -0,0 +1,110 @@
+package com.plagiacheck.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevisionCacheServiceTest {
+
+    @Test
+    void snapshotRoundTripsNegativeAndPositiveHashes() {
+        List<Long> originals = List.of(Long.MAX_VALUE, -1L, 0L, Long.MIN_VALUE, 42L, -42L);
+        List<Long> compared = List.of(-7L, 7L, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        Map<Long, Map<Long, Double>> matches = new HashMap<>();
+        matches.put(Long.MIN_VALUE, Map.of(-7L, 0.9, 7L, 0.8, Long.MAX_VALUE, 0.75));
+        matches.put(-1L, Map.of(Long.MIN_VALUE, 0.71));
+        matches.put(0L, Map.of());
+        matches.put(42L, Map.of(-7L, 1.0, 7L, 0.72));
+        matches.put(Long.MAX_VALUE, Map.of(Long.MIN_VALUE, 0.99, Long.MAX_VALUE, 0.7));
+
+        RevisionCacheService.RevisionSnapshot snapshot =
+                RevisionCacheService.RevisionSnapshot.of(originals, compared, matches);
+
+        for (long hash : originals) {
+            assertTrue(snapshot.containsOriginal(hash), "original " + hash);
+            Map<Long, Double> row = new HashMap<>();
+            snapshot.forEachMatch(hash, (comparedHash, similarity) ->
+                    assertNull(row.put(comparedHash, similarity), "match reported twice"));
+            assertEquals(matches.getOrDefault(hash, Map.of()), row, "matches of " + hash);
+        }
+        for (long hash : compared) {
+            assertTrue(snapshot.containsCompared(hash), "compared " + hash);
+        }
+
+        assertFalse(snapshot.containsOriginal(1L));
+        assertFalse(snapshot.containsCompared(0L));
+        snapshot.forEachMatch(1L, (comparedHash, similarity) -> fail("no matches expected for unknown hash"));
+    }
+
+    @Test
+    void evictionKeepsTotalBytesConsistentWhenReplacing() {
+        RevisionCacheService cache = new RevisionCacheService();
+        RevisionCacheService.RevisionSnapshot small = snapshot(10, 2);
+        RevisionCacheService.RevisionSnapshot large = snapshot(200, 50);
+        ReflectionTestUtils.setField(cache, "maxSize",
+                DataSize.ofBytes(2 * small.estimatedBytes() + large.estimatedBytes()));
+
+        cache.putSnapshot("a", small);
+        cache.putSnapshot("b", small);
+        assertConsistent(cache);
+
+        // Replacing within budget must not count the old snapshot twice
+        cache.putSnapshot("a", snapshot(10, 2));
+        cache.putSnapshot("b", snapshot(10, 2));
+        assertConsistent(cache);
+        assertEquals(2 * small.estimatedBytes(), totalBytes(cache));
+
+        // Growing "b" fits next to "a" only
+        cache.getSnapshot("a");
+        cache.putSnapshot("b", large);
+        assertConsistent(cache);
+        assertTrue(cache.getSnapshot("a").isPresent());
+
+        // A second large entry evicts the least recently used one, and only as much as needed
+        cache.putSnapshot("c", large);
+        assertConsistent(cache);
+        assertFalse(cache.getSnapshot("b").isPresent(), "least recently used snapshot should be evicted");
+        assertTrue(cache.getSnapshot("a").isPresent());
+        assertTrue(cache.getSnapshot("c").isPresent());
+
+        // Shrinking the remaining entries gives the bytes back
+        cache.putSnapshot("c", small);
+        cache.putSnapshot("a", small);
+        assertConsistent(cache);
+        assertEquals(2 * small.estimatedBytes(), totalBytes(cache));
+    }
+
+    private static void assertConsistent(RevisionCacheService cache) {
+        @SuppressWarnings("unchecked")
+        Map<String, RevisionCacheService.RevisionSnapshot> snapshots =
+                (Map<String, RevisionCacheService.RevisionSnapshot>) ReflectionTestUtils.getField(cache, "snapshots");
+        long expected = snapshots.values().stream()
+                .mapToLong(RevisionCacheService.RevisionSnapshot::estimatedBytes)
+                .sum();
+        assertEquals(expected, totalBytes(cache));
+
+        DataSize maxSize = (DataSize) ReflectionTestUtils.getField(cache, "maxSize");
+        assertTrue(totalBytes(cache) <= maxSize.toBytes() || snapshots.size() == 1, "cache exceeds its budget");
+    }
+
+    private static long totalBytes(RevisionCacheService cache) {
+        return (Long) ReflectionTestUtils.getField(cache, "totalBytes");
+    }
+
+    private static RevisionCacheService.RevisionSnapshot snapshot(int sentences, int matches) {
+        List<Long> hashes = new ArrayList<>();
+        Map<Long, Map<Long, Double>> rows = new HashMap<>();
+        for (long h = 0; h < sentences; h++) {
+            hashes.add(h);
+            if (h < matches) {
+                rows.put(h, Map.of(h, 1.0));
+            }
+        }
+        return RevisionCacheService.RevisionSnapshot.of(hashes, hashes, rows);
+    }
+}
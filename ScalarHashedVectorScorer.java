@@ -0,0 +1,27 @@
+package com.plagiacheck.service;
+
+public class ScalarHashedVectorScorer implements HashedVectorScorer {
+
+    @Override
+    public void scoreTile(float[][] rows, int rowStart, int rowEnd,
+                          float[][] cols, int colStart, int colEnd, float[] out) {
+        int width = colEnd - colStart;
+
+        for (int i = rowStart; i < rowEnd; i++) {
+            float[] row = rows[i];
+            for (int j = colStart; j < colEnd; j++) {
+                float[] col = cols[j];
+                float dot = 0f;
+                for (int k = 0; k < row.length; k++) {
+                    dot += row[k] * col[k];
+                }
+                out[(i - rowStart) * width + (j - colStart)] = dot;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,19 @@
+package com.plagiacheck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpooledUpload {
+    private String fileName;
+    private Path path;
+    private long size;
+    private String contentHash;
+}
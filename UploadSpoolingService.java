@@ -0,0 +1,190 @@
+package com.plagiacheck.service;
+
+import com.plagiacheck.config.FileStorageConfig;
+import com.plagiacheck.dto.SpooledUpload;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UploadSpoolingService {
+
+    private static final int MAX_FIELD_LENGTH = 1024;
+    // Fits a Content-Disposition with a long, percent-encoded UTF-8 file name
+    private static final int MAX_PART_HEADER_SIZE = 1024;
+    private static final int MAX_PARTS = 16;
+    // Room for boundaries, part headers and form fields on top of the files themselves
+    private static final long MULTIPART_OVERHEAD = 64 * 1024;
+
+    private final FileStorageConfig fileStorageConfig;
+    private final PdfExtractionService pdfExtractionService;
+
+    /**
+     * Stream a multipart request, spooling each expected PDF part to a file under the temp
+     * directory while hashing it. Size limits apply to the whole body, to each file and to
+     * each part's headers as bytes arrive, so chunked requests are bounded as well. Unknown
+     * and repeated form fields are drained and ignored, like request parameter binding does;
+     * unexpected file parts are rejected, and so are requests with more than {@value #MAX_PARTS} parts.
+     */
+    public SpooledRequest spool(HttpServletRequest request, Set<String> fileFields, Set<String> formFields)
+            throws IOException {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("Request must be multipart/form-data");
+        }
+
+        long maxSize = fileFields.size() * PdfExtractionService.MAX_FILE_SIZE + MULTIPART_OVERHEAD;
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setMaxSize(maxSize);
+        upload.setMaxFileSize(PdfExtractionService.MAX_FILE_SIZE);
+        upload.setMaxPartHeaderSize(MAX_PART_HEADER_SIZE);
+
+        SpooledRequest spooled = new SpooledRequest();
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+
+            int parts = 0;
+
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                String name = item.getFieldName();
+                if (++parts > MAX_PARTS) {
+                    throw new IllegalArgumentException("Request has more than " + MAX_PARTS + " parts");
+                }
+
+                if (item.isFormField()) {
+                    if (formFields.contains(name) && !spooled.fields.containsKey(name)) {
+                        spooled.fields.put(name, readField(item));
+                    } else {
+                        drain(item);
+                    }
+                } else {
+                    if (!fileFields.contains(name) || spooled.files.containsKey(name)) {
+                        throw new IllegalArgumentException("Unexpected file '" + name + "'");
+                    }
+                    pdfExtractionService.validatePdfFileName(item.getName());
+                    spooled.files.put(name, spoolFile(item));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            spooled.close();
+            FileUploadSizeException sizeException = findSizeException(e);
+            if (sizeException != null && sizeException.getPermitted() == upload.getMaxPartHeaderSize()) {
+                throw new IllegalArgumentException("Part headers are too large; the file name may be too long");
+            }
+            if (sizeException != null) {
+                throw new MaxUploadSizeExceededException(sizeException.getPermitted(), sizeException);
+            }
+            throw e;
+        }
+        return spooled;
+    }
+
+    private SpooledUpload spoolFile(FileItemInput item) throws IOException {
+        Path path = Files.createTempFile(Paths.get(fileStorageConfig.getTempDir()), "upload-", ".pdf");
+        MessageDigest digest = sha256();
+        long size;
+
+        // The parser's file size limit is enforced inside the item stream
+        try (InputStream in = new DigestInputStream(item.getInputStream(), digest)) {
+            size = Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        log.info("Spooled {} ({} bytes) to {}", item.getName(), size, path);
+        return SpooledUpload.builder()
+                .fileName(item.getName())
+                .path(path)
+                .size(size)
+                .contentHash(HexFormat.of().formatHex(digest.digest()))
+                .build();
+    }
+
+    private static void drain(FileItemInput item) throws IOException {
+        try (InputStream in = item.getInputStream()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static FileUploadSizeException findSizeException(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof FileUploadSizeException sizeException) {
+                return sizeException;
+            }
+        }
+        return null;
+    }
+
+    private String readField(FileItemInput item) throws IOException {
+        try (InputStream in = item.getInputStream()) {
+            byte[] value = in.readNBytes(MAX_FIELD_LENGTH + 1);
+            if (value.length > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Form field '" + item.getFieldName() + "' is too long");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Parts of a spooled request; closing it deletes the spooled files
+     */
+    public static class SpooledRequest implements AutoCloseable {
+        private final Map<String, SpooledUpload> files = new HashMap<>();
+        private final Map<String, String> fields = new HashMap<>();
+
+        public SpooledUpload getFile(String name) {
+            SpooledUpload file = files.get(name);
+            if (file == null) {
+                throw new IllegalArgumentException("Required file '" + name + "' is missing");
+            }
+            return file;
+        }
+
+        public String getField(String name) {
+            return fields.get(name);
+        }
+
+        @Override
+        public void close() {
+            for (SpooledUpload file : files.values()) {
+                try {
+                    Files.deleteIfExists(file.getPath());
+                } catch (IOException e) {
+                    log.warn("Could not delete spooled upload {}: {}", file.getPath(), e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.plagiacheck.service;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scorer using the incubating Vector API. Compiled only by the {@code vector-api} Maven
+ * profile (JDK 21+), and used only when the application is started with
+ * {@code java --add-modules jdk.incubator.vector -jar plagiarism-detector.jar}
+ * ({@link HashedVectorScoringService} falls back to the scalar scorer otherwise).
+ * Each row chunk is loaded once and multiplied into four column accumulators at a time.
+ */
+public class VectorApiHashedVectorScorer implements HashedVectorScorer {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void scoreTile(float[][] rows, int rowStart, int rowEnd,
+                          float[][] cols, int colStart, int colEnd, float[] out) {
+        int width = colEnd - colStart;
+
+        for (int i = rowStart; i < rowEnd; i++) {
+            float[] row = rows[i];
+            int base = (i - rowStart) * width - colStart;
+            int j = colStart;
+
+            for (; j + 4 <= colEnd; j += 4) {
+                dot4(row, cols[j], cols[j + 1], cols[j + 2], cols[j + 3], out, base + j);
+            }
+            for (; j < colEnd; j++) {
+                out[base + j] = dot(row, cols[j]);
+            }
+        }
+    }
+
+    private static void dot4(float[] row, float[] c0, float[] c1, float[] c2, float[] c3,
+                             float[] out, int offset) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        FloatVector acc2 = FloatVector.zero(SPECIES);
+        FloatVector acc3 = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(row.length);
+        int k = 0;
+
+        for (; k < bound; k += SPECIES.length()) {
+            FloatVector r = FloatVector.fromArray(SPECIES, row, k);
+            acc0 = r.fma(FloatVector.fromArray(SPECIES, c0, k), acc0);
+            acc1 = r.fma(FloatVector.fromArray(SPECIES, c1, k), acc1);
+            acc2 = r.fma(FloatVector.fromArray(SPECIES, c2, k), acc2);
+            acc3 = r.fma(FloatVector.fromArray(SPECIES, c3, k), acc3);
+        }
+
+        float d0 = acc0.reduceLanes(VectorOperators.ADD);
+        float d1 = acc1.reduceLanes(VectorOperators.ADD);
+        float d2 = acc2.reduceLanes(VectorOperators.ADD);
+        float d3 = acc3.reduceLanes(VectorOperators.ADD);
+        for (; k < row.length; k++) {
+            d0 += row[k] * c0[k];
+            d1 += row[k] * c1[k];
+            d2 += row[k] * c2[k];
+            d3 += row[k] * c3[k];
+        }
+
+        out[offset] = d0;
+        out[offset + 1] = d1;
+        out[offset + 2] = d2;
+        out[offset + 3] = d3;
+    }
+
+    private static float dot(float[] row, float[] col) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(row.length);
+        int k = 0;
+
+        for (; k < bound; k += SPECIES.length()) {
+            acc = FloatVector.fromArray(SPECIES, row, k).fma(FloatVector.fromArray(SPECIES, col, k), acc);
+        }
+
+        float dot = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < row.length; k++) {
+            dot += row[k] * col[k];
+        }
+        return dot;
+    }
+
+    @Override
+    public String getName() {
+        return "vector-api (" + SPECIES.length() + " lanes)";
+    }
+}
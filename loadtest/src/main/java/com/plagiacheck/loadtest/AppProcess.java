@@ -0,0 +1,139 @@
+package com.plagiacheck.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The application under test, started as a separate JVM on a free port so that the
+ * load generator's own allocation and GC do not show up in the measured heap/GC stats
+ */
+@Slf4j
+public class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final Process process;
+    private final URI baseUri;
+    private final Path gcLog;
+    private final Path appLog;
+    private final List<Path> scratchDirs;
+
+    private AppProcess(Process process, URI baseUri, Path gcLog, Path appLog, List<Path> scratchDirs) {
+        this.process = process;
+        this.baseUri = baseUri;
+        this.gcLog = gcLog;
+        this.appLog = appLog;
+        this.scratchDirs = scratchDirs;
+    }
+
+    /**
+     * Start the application with its GC log and console output in {@code workDir}. The upload
+     * and temp directories it is given are created there too, and deleted again on close.
+     */
+    public static AppProcess start(LoadTestConfig config, Path workDir) throws IOException, InterruptedException {
+        int port = freePort();
+        Path gcLog = workDir.resolve("gc.log");
+        Path appLog = workDir.resolve("app.log");
+        Path uploads = Files.createDirectories(workDir.resolve("uploads"));
+        Path temp = Files.createDirectories(workDir.resolve("temp"));
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(config.getJvmOptions());
+        command.add("-Xlog:gc:file=" + gcLog + ":uptime,level,tags");
+        command.add("-jar");
+        command.add(config.getAppJar().toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.add("--app.upload.dir=" + uploads);
+        command.add("--app.temp.dir=" + temp);
+        command.addAll(config.getAppArguments());
+
+        log.info("Starting application, output in {}: {}", appLog.toAbsolutePath(), String.join(" ", command));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(appLog.toFile())
+                .start();
+
+        AppProcess app = new AppProcess(process, URI.create("http://localhost:" + port), gcLog, appLog,
+                List.of(uploads, temp));
+        try {
+            app.awaitHealthy();
+        } catch (IOException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public Path getGcLog() {
+        return gcLog;
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/plagiarism/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Application exited during startup with code " + process.exitValue()
+                        + ", see " + appLog.toAbsolutePath());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("Application is up at {}", baseUri);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("Application did not become healthy within " + STARTUP_TIMEOUT
+                + ", see " + appLog.toAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        scratchDirs.forEach(AppProcess::deleteRecursively);
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
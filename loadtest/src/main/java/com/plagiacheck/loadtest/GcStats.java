@@ -0,0 +1,64 @@
+package com.plagiacheck.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GcStats {
+    private int pauseCount;
+    private double totalPauseMillis;
+    private double maxPauseMillis;
+    private long peakHeapUsedMb;
+    private long maxHeapCommittedMb;
+
+    // e.g. "[3.210s][info][gc] GC(5) Pause Young (Normal) (G1 Evacuation Pause) 45M->12M(256M) 4.321ms"
+    private static final Pattern PAUSE = Pattern.compile(
+            "GC\\(\\d+\\) Pause .*? (\\d+)M->(\\d+)M\\((\\d+)M\\) ([\\d.]+)ms");
+
+    /**
+     * Current size of the GC log, used to mark where the measured window starts
+     */
+    public static long offset(Path gcLog) throws IOException {
+        return Files.exists(gcLog) ? Files.size(gcLog) : 0;
+    }
+
+    /**
+     * Summarise the pauses logged after the given offset of a unified-logging GC log
+     */
+    public static GcStats parse(Path gcLog, long fromOffset) throws IOException {
+        GcStats stats = new GcStats();
+        if (!Files.exists(gcLog)) {
+            return stats;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(gcLog.toFile(), "r")) {
+            file.seek(fromOffset);
+            String line;
+            while ((line = file.readLine()) != null) {
+                Matcher matcher = PAUSE.matcher(line);
+                if (!matcher.find()) {
+                    continue;
+                }
+                double pause = Double.parseDouble(matcher.group(4));
+                stats.pauseCount++;
+                stats.totalPauseMillis += pause;
+                stats.maxPauseMillis = Math.max(stats.maxPauseMillis, pause);
+                stats.peakHeapUsedMb = Math.max(stats.peakHeapUsedMb, Long.parseLong(matcher.group(1)));
+                stats.maxHeapCommittedMb = Math.max(stats.maxHeapCommittedMb, Long.parseLong(matcher.group(3)));
+            }
+        }
+        return stats;
+    }
+}
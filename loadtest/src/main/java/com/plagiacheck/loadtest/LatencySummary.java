@@ -0,0 +1,48 @@
+package com.plagiacheck.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencySummary {
+    private long requests;
+    private long errors;
+    private double throughputPerSecond;
+    private double meanMillis;
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+    private double uncorrectedP99Millis;
+    private double errorP50Millis;
+
+    /**
+     * Summarise a corrected (measured from intended start) and an uncorrected (measured
+     * from actual send) histogram of successful requests, plus the failed requests'
+     * histogram, all recorded in microseconds. Failures only count towards
+     * {@code requests} and {@code errors}, never towards the latency percentiles.
+     */
+    public static LatencySummary of(Histogram corrected, Histogram uncorrected, Histogram errors,
+                                    double elapsedSeconds) {
+        return LatencySummary.builder()
+                .requests(corrected.getTotalCount() + errors.getTotalCount())
+                .errors(errors.getTotalCount())
+                .throughputPerSecond(elapsedSeconds > 0 ? corrected.getTotalCount() / elapsedSeconds : 0)
+                .meanMillis(corrected.getMean() / 1000.0)
+                .p50Millis(corrected.getValueAtPercentile(50) / 1000.0)
+                .p90Millis(corrected.getValueAtPercentile(90) / 1000.0)
+                .p99Millis(corrected.getValueAtPercentile(99) / 1000.0)
+                .p999Millis(corrected.getValueAtPercentile(99.9) / 1000.0)
+                .maxMillis(corrected.getMaxValue() / 1000.0)
+                .uncorrectedP99Millis(uncorrected.getValueAtPercentile(99) / 1000.0)
+                .errorP50Millis(errors.getValueAtPercentile(50) / 1000.0)
+                .build();
+    }
+}
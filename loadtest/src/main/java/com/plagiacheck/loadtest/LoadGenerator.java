@@ -0,0 +1,133 @@
+package com.plagiacheck.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Requests are issued on a fixed schedule regardless of how
+ * many are still in flight, and latency is measured from each request's intended start
+ * time, so a stalled server is charged for the requests it delayed (coordinated omission).
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final URI detectUri;
+    private final Map<PdfSize, byte[]> bodies;
+    private final LoadTestConfig config;
+    private final List<PdfSize> weightedSizes = new ArrayList<>();
+    private final Random random;
+
+    public LoadGenerator(URI baseUri, Map<PdfSize, byte[]> bodies, LoadTestConfig config) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.detectUri = baseUri.resolve("/api/plagiarism/detect");
+        this.bodies = bodies;
+        this.config = config;
+        this.random = new Random(config.getSeed());
+
+        config.getMix().forEach((size, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedSizes.add(size);
+            }
+        });
+    }
+
+    /**
+     * Run at the configured arrival rate for the given duration and wait for all
+     * outstanding requests to complete
+     */
+    public Result run(Duration duration) {
+        Map<PdfSize, Recorder> recorders = new EnumMap<>(PdfSize.class);
+        config.getMix().keySet().forEach(size -> recorders.put(size, new Recorder()));
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRequestsPerSecond());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            PdfSize size = weightedSizes.get(random.nextInt(weightedSizes.size()));
+            Recorder recorder = recorders.get(size);
+            long sent = System.nanoTime();
+
+            pending.add(client.sendAsync(request(size), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        boolean ok = error == null && response.statusCode() == 200;
+                        recorder.record(intendedStart, sent, System.nanoTime(), ok);
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        log.info("Completed {} requests in {} s", pending.size(), String.format("%.1f", elapsedSeconds));
+
+        return new Result(recorders, elapsedSeconds);
+    }
+
+    private HttpRequest request(PdfSize size) {
+        return HttpRequest.newBuilder(detectUri)
+                .timeout(config.getRequestTimeout())
+                .header("Content-Type", "multipart/form-data; boundary=" + PdfFixtures.BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(bodies.get(size)))
+                .build();
+    }
+
+    /**
+     * Successful requests feed the latency histograms; failures are kept in a separate
+     * histogram so a build that fails fast does not look faster
+     */
+    public static class Recorder {
+        private final Histogram corrected = new ConcurrentHistogram(3);
+        private final Histogram uncorrected = new ConcurrentHistogram(3);
+        private final Histogram errors = new ConcurrentHistogram(3);
+
+        void record(long intendedStart, long sent, long completed, boolean ok) {
+            long correctedMicros = TimeUnit.NANOSECONDS.toMicros(completed - intendedStart);
+            if (!ok) {
+                errors.recordValue(correctedMicros);
+                return;
+            }
+            corrected.recordValue(correctedMicros);
+            uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+        }
+
+        public Histogram getCorrected() {
+            return corrected;
+        }
+
+        public Histogram getUncorrected() {
+            return uncorrected;
+        }
+
+        public Histogram getErrors() {
+            return errors;
+        }
+    }
+
+    public record Result(Map<PdfSize, Recorder> recorders, double elapsedSeconds) {
+    }
+}
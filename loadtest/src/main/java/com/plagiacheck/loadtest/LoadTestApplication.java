@@ -0,0 +1,81 @@
+package com.plagiacheck.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test for {@code POST /api/plagiarism/detect}.
+ *
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--app-jar=target/plagiarism-detector-1.0.0.jar
+ *     --rate=5 --warmup=30 --duration=120 --mix=small:6,medium:3,large:1 --label=baseline"
+ *
+ * mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--compare=loadtest/reports/baseline.json,loadtest/reports/candidate.json"
+ * </pre>
+ *
+ * Other options: {@code --jvm-opts}, {@code --timeout}, {@code --seed}, {@code --output}
+ * and repeatable {@code --app-arg} (passed through to the application). Each run writes
+ * {@code <label>.json} and per-size {@code .hgrm} files to the output directory, and the
+ * application's {@code gc.log} and {@code app.log} to {@code <output>/<label>/}.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        if (config.isCompareMode()) {
+            LoadTestReport.compare(LoadTestReport.read(config.getCompareBaseline()),
+                    LoadTestReport.read(config.getCompareCandidate()), System.out);
+            return;
+        }
+
+        Map<PdfSize, byte[]> bodies = new EnumMap<>(PdfSize.class);
+        for (PdfSize size : config.getMix().keySet()) {
+            bodies.put(size, PdfFixtures.multipartBody(size, config.getSeed()));
+            log.info("Prepared {} request body: {} KB", size, bodies.get(size).length / 1024);
+        }
+
+        // GC and application logs are kept next to the report for later comparison
+        Path workDir = Files.createDirectories(config.getOutputDir().resolve(config.getLabel()));
+        LoadGenerator.Result result;
+        GcStats gcStats;
+
+        try (AppProcess app = AppProcess.start(config, workDir)) {
+            LoadGenerator generator = new LoadGenerator(app.getBaseUri(), bodies, config);
+
+            log.info("Warming up for {} s", config.getWarmup().toSeconds());
+            generator.run(config.getWarmup());
+
+            long gcOffset = GcStats.offset(app.getGcLog());
+            log.info("Measuring for {} s at {} requests/s", config.getDuration().toSeconds(), config.getRequestsPerSecond());
+            result = generator.run(config.getDuration());
+            gcStats = GcStats.parse(app.getGcLog(), gcOffset);
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.getMix().forEach((size, weight) -> mix.put(size.name().toLowerCase(), weight));
+
+        LoadTestReport report = LoadTestReport.builder()
+                .label(config.getLabel())
+                .timestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .javaVersion(System.getProperty("java.version"))
+                .jvmOptions(String.join(" ", config.getJvmOptions()))
+                .requestsPerSecond(config.getRequestsPerSecond())
+                .durationSeconds(config.getDuration().toSeconds())
+                .mix(mix)
+                .latencies(LoadTestReport.summarise(result))
+                .gc(gcStats)
+                .build();
+
+        report.write(config.getOutputDir(), result);
+        log.info("Report written to {}", config.getOutputDir().resolve(config.getLabel() + ".json").toAbsolutePath());
+    }
+}
@@ -0,0 +1,106 @@
+package com.plagiacheck.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class LoadTestConfig {
+
+    private Path appJar;
+    private List<String> jvmOptions;
+    private List<String> appArguments;
+    private double requestsPerSecond;
+    private Duration warmup;
+    private Duration duration;
+    private Duration requestTimeout;
+    private Map<PdfSize, Integer> mix;
+    private long seed;
+    private String label;
+    private Path outputDir;
+    private Path compareBaseline;
+    private Path compareCandidate;
+
+    /**
+     * Parse command line arguments of the form {@code --name=value}
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArguments = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg.substring(2) : arg.substring(2, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+
+            // Repeatable: forwarded verbatim to the application
+            if (name.equals("app-arg")) {
+                appArguments.add(value);
+            } else {
+                options.put(name, value);
+            }
+        }
+
+        LoadTestConfigBuilder builder = LoadTestConfig.builder()
+                .jvmOptions(List.of(options.getOrDefault("jvm-opts", "-Xmx512m -Xms256m").trim().split("\\s+")))
+                .appArguments(appArguments)
+                .requestsPerSecond(Double.parseDouble(options.getOrDefault("rate", "5")))
+                .warmup(Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "30"))))
+                .duration(Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120"))))
+                .requestTimeout(Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60"))))
+                .mix(parseMix(options.getOrDefault("mix", "small:6,medium:3,large:1")))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .label(options.getOrDefault("label", "run-" + System.currentTimeMillis()))
+                .outputDir(Paths.get(options.getOrDefault("output", "loadtest/reports")));
+
+        if (options.containsKey("compare")) {
+            String[] reports = options.get("compare").split(",");
+            if (reports.length != 2) {
+                throw new IllegalArgumentException("--compare expects two reports: baseline.json,candidate.json");
+            }
+            return builder.compareBaseline(Paths.get(reports[0]))
+                    .compareCandidate(Paths.get(reports[1]))
+                    .build();
+        }
+
+        if (!options.containsKey("app-jar")) {
+            throw new IllegalArgumentException("--app-jar is required");
+        }
+        LoadTestConfig config = builder.appJar(Paths.get(options.get("app-jar"))).build();
+        if (config.getRequestsPerSecond() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return config;
+    }
+
+    public boolean isCompareMode() {
+        return compareBaseline != null;
+    }
+
+    /**
+     * Parse a mix such as {@code small:6,medium:3,large:1} into relative weights
+     */
+    private static Map<PdfSize, Integer> parseMix(String spec) {
+        Map<PdfSize, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Mix weights must be positive: " + entry);
+            }
+            mix.put(PdfSize.valueOf(parts[0].toUpperCase()), weight);
+        }
+        return mix;
+    }
+}
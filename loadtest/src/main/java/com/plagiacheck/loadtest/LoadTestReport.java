@@ -0,0 +1,108 @@
+package com.plagiacheck.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+    private String label;
+    private String timestamp;
+    private String javaVersion;
+    private String jvmOptions;
+    private double requestsPerSecond;
+    private long durationSeconds;
+    private Map<String, Integer> mix;
+    private Map<String, LatencySummary> latencies;
+    private GcStats gc;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Write the report as {@code <label>.json} plus one HdrHistogram percentile
+     * distribution ({@code .hgrm}, in milliseconds) per PDF size
+     */
+    public void write(Path outputDir, LoadGenerator.Result result) throws IOException {
+        Files.createDirectories(outputDir);
+        MAPPER.writeValue(outputDir.resolve(label + ".json").toFile(), this);
+
+        for (Map.Entry<PdfSize, LoadGenerator.Recorder> entry : result.recorders().entrySet()) {
+            Path file = outputDir.resolve(label + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().getCorrected().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    public static LoadTestReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * Summarise every PDF size separately and all of them together under "all"
+     */
+    public static Map<String, LatencySummary> summarise(LoadGenerator.Result result) {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        Histogram allCorrected = new Histogram(3);
+        Histogram allUncorrected = new Histogram(3);
+        Histogram allErrors = new Histogram(3);
+
+        for (Map.Entry<PdfSize, LoadGenerator.Recorder> entry : result.recorders().entrySet()) {
+            LoadGenerator.Recorder recorder = entry.getValue();
+            summaries.put(entry.getKey().name().toLowerCase(), LatencySummary.of(
+                    recorder.getCorrected(), recorder.getUncorrected(), recorder.getErrors(), result.elapsedSeconds()));
+            allCorrected.add(recorder.getCorrected());
+            allUncorrected.add(recorder.getUncorrected());
+            allErrors.add(recorder.getErrors());
+        }
+
+        summaries.put("all", LatencySummary.of(allCorrected, allUncorrected, allErrors, result.elapsedSeconds()));
+        return summaries;
+    }
+
+    /**
+     * Print a side-by-side comparison of two reports, e.g. from two builds
+     */
+    public static void compare(LoadTestReport baseline, LoadTestReport candidate, PrintStream out) {
+        out.printf("%-8s %-14s %12s %12s %9s%n", "size", "metric", baseline.getLabel(), candidate.getLabel(), "change");
+
+        for (Map.Entry<String, LatencySummary> entry : baseline.getLatencies().entrySet()) {
+            LatencySummary before = entry.getValue();
+            LatencySummary after = candidate.getLatencies().get(entry.getKey());
+            if (after == null) {
+                continue;
+            }
+            String size = entry.getKey();
+            printRow(out, size, "throughput/s", before.getThroughputPerSecond(), after.getThroughputPerSecond());
+            printRow(out, size, "p50 ms", before.getP50Millis(), after.getP50Millis());
+            printRow(out, size, "p99 ms", before.getP99Millis(), after.getP99Millis());
+            printRow(out, size, "p99.9 ms", before.getP999Millis(), after.getP999Millis());
+            printRow(out, size, "max ms", before.getMaxMillis(), after.getMaxMillis());
+            printRow(out, size, "errors", before.getErrors(), after.getErrors());
+        }
+
+        printRow(out, "gc", "pauses", baseline.getGc().getPauseCount(), candidate.getGc().getPauseCount());
+        printRow(out, "gc", "total ms", baseline.getGc().getTotalPauseMillis(), candidate.getGc().getTotalPauseMillis());
+        printRow(out, "gc", "max ms", baseline.getGc().getMaxPauseMillis(), candidate.getGc().getMaxPauseMillis());
+        printRow(out, "gc", "peak heap MB", baseline.getGc().getPeakHeapUsedMb(), candidate.getGc().getPeakHeapUsedMb());
+    }
+
+    private static void printRow(PrintStream out, String size, String metric, double before, double after) {
+        String change = before == 0 ? "n/a" : String.format("%+.1f%%", (after - before) / before * 100);
+        out.printf("%-8s %-14s %12.2f %12.2f %9s%n", size, metric, before, after, change);
+    }
+}
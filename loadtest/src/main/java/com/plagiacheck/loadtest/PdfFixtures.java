@@ -0,0 +1,126 @@
+package com.plagiacheck.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic PDF pairs for the load test. The compared document reuses part of the
+ * original's sentences so requests exercise the matched-section path, not just misses.
+ */
+public class PdfFixtures {
+
+    public static final String BOUNDARY = "plagiacheck-loadtest-boundary";
+
+    private static final int LINES_PER_PAGE = 45;
+    private static final int SENTENCES_PER_PAGE = 30;
+    private static final double SHARED_SENTENCE_RATIO = 0.3;
+
+    private static final String[] VOCABULARY = (
+            "analysis research method result data model system study theory evidence sample "
+            + "process structure function value approach measure effect factor variable review "
+            + "experiment observation hypothesis conclusion framework context principle pattern "
+            + "network signal response control design impact level change growth rate average "
+            + "significant relevant previous current general specific important different").split(" ");
+
+    private PdfFixtures() {
+    }
+
+    /**
+     * Build the multipart request body for one PDF pair of the given size
+     */
+    public static byte[] multipartBody(PdfSize size, long seed) throws IOException {
+        Random random = new Random(seed + size.ordinal());
+        int sentenceCount = size.getPages() * SENTENCES_PER_PAGE;
+
+        List<String> original = new ArrayList<>();
+        List<String> compared = new ArrayList<>();
+        for (int i = 0; i < sentenceCount; i++) {
+            String sentence = sentence(random);
+            original.add(sentence);
+            compared.add(random.nextDouble() < SHARED_SENTENCE_RATIO ? sentence : sentence(random));
+        }
+
+        String name = size.name().toLowerCase();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writePart(body, "originalFile", "original-" + name + ".pdf", renderPdf(original));
+        writePart(body, "comparedFile", "compared-" + name + ".pdf", renderPdf(compared));
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static String sentence(Random random) {
+        int words = 8 + random.nextInt(12);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sentence.append(' ');
+            sentence.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.append('.').toString();
+    }
+
+    private static byte[] renderPdf(List<String> sentences) throws IOException {
+        List<String> lines = wrap(String.join(" ", sentences), 90);
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+
+        try (PDDocument document = new PDDocument()) {
+            for (int start = 0; start < lines.size(); start += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(start, Math.min(start + LINES_PER_PAGE, lines.size()))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static List<String> wrap(String text, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            if (line.length() + word.length() + 1 > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (line.length() > 0) line.append(' ');
+            line.append(word);
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String field, String fileName, byte[] content)
+            throws IOException {
+        String header = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + field + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n";
+        body.write(header.getBytes(StandardCharsets.US_ASCII));
+        body.write(content);
+        body.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,17 @@
+package com.plagiacheck.loadtest;
+
+public enum PdfSize {
+    SMALL(1),
+    MEDIUM(10),
+    LARGE(40);
+
+    private final int pages;
+
+    PdfSize(int pages) {
+        this.pages = pages;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+}